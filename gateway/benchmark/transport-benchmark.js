@@ -0,0 +1,412 @@
+import http from 'node:http';
+import http2 from 'node:http2';
+import net from 'node:net';
+import zlib from 'node:zlib';
+import { promisify } from 'node:util';
+import { performance } from 'node:perf_hooks';
+import { createH2cFetcher, decodeBody } from '../src/utils/h2c-fetcher.js';
+
+/**
+ * Transport Benchmark
+ *
+ * Reports bytes on the wire (request and response bytes through the client's
+ * sockets, headers and framing included) and client-side latency, including
+ * decompression, for each payload size. Each run compares:
+ *   - HTTP/1.1 identity / HTTP/1.1 gzip responses
+ *   - h2c identity / h2c compressed (the gateway fetcher as configured:
+ *     negotiated responses plus gzip request bodies above the threshold)
+ *
+ * Targets:
+ *   default             In-process HTTP/1.1 and h2c servers serving synthetic
+ *                       _entities payloads (gzip only, like Tomcat)
+ *   BENCH_SUBGRAPH_URL  Running subgraph, e.g. http://localhost:4001/graphql;
+ *                       POSTs _entities queries with BENCH_ENTITY_COUNTS
+ *                       representations (subgraph -> HttpClient 5 -> CRM)
+ *   BENCH_CRM_URL       Running mock CRM, e.g. http://localhost:5001; GETs
+ *                       /api/customers with BENCH_CRM_LIMITS, sending the
+ *                       Accept-Encoding HttpClient 5 sends
+ *
+ * Usage: npm run benchmark
+ *   BENCH_ITERATIONS            Requests per scenario (default 50, 5 against live services)
+ *   BENCH_ENTITY_COUNTS         Representations per _entities query (default 1,10,50)
+ *   BENCH_CRM_LIMITS            Page sizes for the CRM listing (default 1,5,100)
+ *   COMPRESSION_THRESHOLD_BYTES Minimum payload size to compress (default 1024)
+ */
+
+const SUBGRAPH_URL = process.env.BENCH_SUBGRAPH_URL;
+const CRM_URL = process.env.BENCH_CRM_URL;
+const LIVE = Boolean(SUBGRAPH_URL || CRM_URL);
+
+const ITERATIONS = parseInt(process.env.BENCH_ITERATIONS || (LIVE ? '5' : '50'), 10);
+const WARMUP = LIVE ? 1 : 5;
+const THRESHOLD = parseInt(process.env.COMPRESSION_THRESHOLD_BYTES || '1024', 10);
+const PAYLOAD_SIZES = [512, 16 * 1024, 128 * 1024, 1024 * 1024];
+const ENTITY_COUNTS = (process.env.BENCH_ENTITY_COUNTS || '1,10,50').split(',').map(Number);
+const CRM_LIMITS = (process.env.BENCH_CRM_LIMITS || '1,5,100').split(',').map(Number);
+
+// Accept-Encoding sent by Apache HttpClient 5 (CrmApiClient)
+const HTTPCLIENT5_ACCEPT_ENCODING = 'gzip, x-gzip, deflate';
+
+const gzip = promisify(zlib.gzip);
+
+// ---------------------------------------------------------------------------
+// Payloads
+// ---------------------------------------------------------------------------
+
+const SEGMENTS = ['PLATINUM', 'GOLD', 'SILVER', 'BRONZE'];
+const STATUSES = ['ACTIVE', 'INACTIVE', 'SUSPENDED', 'VIP'];
+
+const CUSTOMER_FIELDS = 'customerId firstName lastName email phone dateOfBirth '
+    + 'address { street city state zipCode country } segment status lifetimeValue riskScore createdAt lastUpdated';
+
+function customer(index) {
+    const id = String(index + 1).padStart(6, '0');
+    return {
+        __typename: 'Customer',
+        customerId: `CUST${id}`,
+        firstName: `First${id}`,
+        lastName: `Last${id}`,
+        email: `customer${id}@email.com`,
+        phone: `+1-555-${id.slice(-4)}`,
+        dateOfBirth: '1985-06-15',
+        address: {
+            street: `${index + 100} Main Street`,
+            city: 'San Francisco',
+            state: 'CA',
+            zipCode: '94102',
+            country: 'USA',
+        },
+        segment: SEGMENTS[index % SEGMENTS.length],
+        status: STATUSES[index % STATUSES.length],
+        lifetimeValue: Math.round((index * 7919) % 50000 * 100) / 100,
+        riskScore: (index * 37) % 100,
+        createdAt: '2020-01-15T10:30:00Z',
+        lastUpdated: '2025-10-10T14:20:00Z',
+    };
+}
+
+function buildPayload(targetBytes) {
+    const entities = [];
+    let json = JSON.stringify({ data: { _entities: entities } });
+    while (Buffer.byteLength(json) < targetBytes) {
+        entities.push(customer(entities.length));
+        json = JSON.stringify({ data: { _entities: entities } });
+    }
+    return Buffer.from(json);
+}
+
+// Representations cycle through the mock CRM's customers CUST001..CUST005
+function entitiesQuery(count) {
+    return JSON.stringify({
+        query: `query($representations: [_Any!]!) { _entities(representations: $representations) { ... on Customer { ${CUSTOMER_FIELDS} } } }`,
+        variables: {
+            representations: Array.from({ length: count }, (_, i) => ({
+                __typename: 'Customer',
+                customerId: `CUST${String((i % 5) + 1).padStart(3, '0')}`,
+            })),
+        },
+    });
+}
+
+// ---------------------------------------------------------------------------
+// In-process servers (default target)
+// ---------------------------------------------------------------------------
+
+async function encodedResponse(payloads, path, acceptEncoding) {
+    const size = parseInt(new URL(path, 'http://localhost').searchParams.get('size'), 10);
+    const payload = payloads.get(size);
+    const accepted = (acceptEncoding || '').split(',').map((value) => value.trim().split(';')[0]);
+    const encoding = payload.length >= THRESHOLD && accepted.includes('gzip') ? 'gzip' : null;
+    const body = encoding ? await gzip(payload) : payload;
+    return { body, encoding };
+}
+
+async function listen(server) {
+    await new Promise((resolve) => server.listen(0, '127.0.0.1', resolve));
+    return `http://127.0.0.1:${server.address().port}`;
+}
+
+function trackServerSockets(server) {
+    const sockets = new Set();
+    server.on('connection', (socket) => {
+        sockets.add(socket);
+        socket.on('close', () => sockets.delete(socket));
+    });
+    return () => sockets.forEach((socket) => socket.destroy());
+}
+
+async function startHttp1Server(payloads) {
+    const server = http.createServer(async (req, res) => {
+        const { body, encoding } = await encodedResponse(payloads, req.url, req.headers['accept-encoding']);
+        res.writeHead(200, {
+            'content-type': 'application/json',
+            'content-length': body.length,
+            ...(encoding && { 'content-encoding': encoding }),
+        });
+        res.end(body);
+    });
+    const destroy = trackServerSockets(server);
+    return { origin: await listen(server), close: () => { server.close(); destroy(); } };
+}
+
+async function startH2cServer(payloads) {
+    const server = http2.createServer();
+    server.on('stream', async (stream, headers) => {
+        const { body, encoding } = await encodedResponse(payloads, headers[':path'], headers['accept-encoding']);
+        stream.respond({
+            ':status': 200,
+            'content-type': 'application/json',
+            'content-length': body.length,
+            ...(encoding && { 'content-encoding': encoding }),
+        });
+        stream.end(body);
+    });
+    const destroy = trackServerSockets(server);
+    return { origin: await listen(server), close: () => { server.close(); destroy(); } };
+}
+
+// ---------------------------------------------------------------------------
+// Clients
+// ---------------------------------------------------------------------------
+
+/**
+ * Counts bytes through every socket a client opens, including closed ones
+ */
+function createSocketMeter() {
+    const sockets = new Set();
+    let closedRead = 0;
+    let closedWritten = 0;
+
+    return {
+        track(socket) {
+            sockets.add(socket);
+            socket.on('close', () => {
+                closedRead += socket.bytesRead;
+                closedWritten += socket.bytesWritten;
+                sockets.delete(socket);
+            });
+            return socket;
+        },
+        totals() {
+            let read = closedRead;
+            let written = closedWritten;
+            sockets.forEach((socket) => {
+                read += socket.bytesRead;
+                written += socket.bytesWritten;
+            });
+            return { read, written };
+        },
+        destroy() {
+            sockets.forEach((socket) => socket.destroy());
+        },
+    };
+}
+
+function createHttp1Client({ acceptEncoding }) {
+    const meter = createSocketMeter();
+    const agent = new http.Agent({ keepAlive: true, maxSockets: 1 });
+    agent.createConnection = (options) => meter.track(net.createConnection(options));
+
+    const send = ({ url, method = 'GET', headers = {}, body }) => new Promise((resolve, reject) => {
+        const req = http.request(url, {
+            agent,
+            method,
+            headers: {
+                ...headers,
+                ...(acceptEncoding && { 'accept-encoding': acceptEncoding }),
+                ...(body && { 'content-length': Buffer.byteLength(body) }),
+            },
+        }, (res) => {
+            const chunks = [];
+            res.on('data', (chunk) => chunks.push(chunk));
+            res.on('end', async () => {
+                try {
+                    resolve(await decodeBody(Buffer.concat(chunks), res.headers['content-encoding']));
+                } catch (error) {
+                    reject(error);
+                }
+            });
+            res.on('error', reject);
+        });
+        req.on('error', reject);
+        req.end(body);
+    });
+
+    return { send, meter, close: () => { agent.destroy(); meter.destroy(); } };
+}
+
+function createH2cClient({ compression }) {
+    const meter = createSocketMeter();
+    const fetcher = createH2cFetcher({
+        compression,
+        compressionThreshold: THRESHOLD,
+        connectOptions: {
+            createConnection: (authority) => meter.track(net.connect(Number(authority.port), authority.hostname)),
+        },
+    });
+
+    const send = async ({ url, method = 'GET', headers = {}, body }) => {
+        const response = await fetcher(url, { method, headers, body });
+        return Buffer.from(await response.arrayBuffer());
+    };
+
+    return { send, meter, close: () => meter.destroy() };
+}
+
+// ---------------------------------------------------------------------------
+// Runner
+// ---------------------------------------------------------------------------
+
+function percentile(sorted, p) {
+    return sorted[Math.min(sorted.length - 1, Math.ceil((p / 100) * sorted.length) - 1)];
+}
+
+async function runScenario(client, request) {
+    for (let i = 0; i < WARMUP; i++) {
+        await client.send(request);
+    }
+
+    const latencies = [];
+    let sent = 0;
+    let received = 0;
+    let payloadBytes = 0;
+
+    for (let i = 0; i < ITERATIONS; i++) {
+        const before = client.meter.totals();
+        const start = performance.now();
+        const body = await client.send(request);
+        latencies.push(performance.now() - start);
+        const after = client.meter.totals();
+        sent += after.written - before.written;
+        received += after.read - before.read;
+        payloadBytes = body.length;
+    }
+
+    latencies.sort((a, b) => a - b);
+    return {
+        payloadBytes,
+        sentBytes: Math.round(sent / ITERATIONS),
+        receivedBytes: Math.round(received / ITERATIONS),
+        p50: percentile(latencies, 50),
+        p95: percentile(latencies, 95),
+    };
+}
+
+function formatBytes(bytes) {
+    if (bytes >= 1024 * 1024) return `${(bytes / (1024 * 1024)).toFixed(2)} MB`;
+    if (bytes >= 1024) return `${(bytes / 1024).toFixed(1)} KB`;
+    return `${bytes} B`;
+}
+
+function printHeader(title) {
+    console.log('');
+    console.log(title);
+    console.log('');
+    console.log([
+        'Scenario'.padEnd(22), 'Size'.padEnd(10), 'Payload'.padStart(10), 'Sent'.padStart(10),
+        'Received'.padStart(10), 'Ratio'.padStart(7), 'p50 ms'.padStart(9), 'p95 ms'.padStart(9),
+    ].join(' '));
+    console.log('-'.repeat(94));
+}
+
+function printRow(name, label, result) {
+    console.log([
+        name.padEnd(22),
+        label.padEnd(10),
+        formatBytes(result.payloadBytes).padStart(10),
+        formatBytes(result.sentBytes).padStart(10),
+        formatBytes(result.receivedBytes).padStart(10),
+        (result.receivedBytes / Math.max(result.payloadBytes, 1)).toFixed(2).padStart(7),
+        result.p50.toFixed(2).padStart(9),
+        result.p95.toFixed(2).padStart(9),
+    ].join(' '));
+}
+
+async function runTable(title, scenarios, cases) {
+    printHeader(title);
+    for (const { label, request } of cases) {
+        for (const scenario of scenarios) {
+            printRow(scenario.name, label, await runScenario(scenario.client, request(scenario)));
+        }
+        console.log('');
+    }
+    scenarios.forEach((scenario) => scenario.client.close());
+}
+
+function transportScenarios() {
+    return [
+        { name: 'HTTP/1.1 identity', http2: false, client: createHttp1Client({ acceptEncoding: null }) },
+        { name: 'HTTP/1.1 gzip', http2: false, client: createHttp1Client({ acceptEncoding: 'gzip' }) },
+        { name: 'h2c identity', http2: true, client: createH2cClient({ compression: false }) },
+        { name: 'h2c compressed', http2: true, client: createH2cClient({ compression: true }) },
+    ];
+}
+
+async function benchmarkSynthetic() {
+    const payloads = new Map(PAYLOAD_SIZES.map((size) => [size, buildPayload(size)]));
+    const http1 = await startHttp1Server(payloads);
+    const h2c = await startH2cServer(payloads);
+
+    await runTable(
+        'In-process servers, synthetic _entities responses (gzip only)',
+        transportScenarios(),
+        PAYLOAD_SIZES.map((size) => ({
+            label: formatBytes(size),
+            request: (scenario) => ({ url: `${scenario.http2 ? h2c.origin : http1.origin}/graphql?size=${size}` }),
+        })),
+    );
+
+    http1.close();
+    h2c.close();
+}
+
+async function benchmarkSubgraph() {
+    await runTable(
+        `Subgraph ${SUBGRAPH_URL}, _entities queries (subgraph -> CRM included)`,
+        transportScenarios(),
+        ENTITY_COUNTS.map((count) => ({
+            label: `${count} ent`,
+            request: () => ({
+                url: SUBGRAPH_URL,
+                method: 'POST',
+                headers: { 'content-type': 'application/json' },
+                body: entitiesQuery(count),
+            }),
+        })),
+    );
+}
+
+async function benchmarkCrm() {
+    await runTable(
+        `Mock CRM ${CRM_URL}, GET /api/customers (HttpClient 5 Accept-Encoding)`,
+        [
+            { name: 'HTTP/1.1 identity', client: createHttp1Client({ acceptEncoding: null }) },
+            { name: 'HTTP/1.1 gzip', client: createHttp1Client({ acceptEncoding: HTTPCLIENT5_ACCEPT_ENCODING }) },
+        ],
+        CRM_LIMITS.map((limit) => ({
+            label: `limit ${limit}`,
+            request: () => ({ url: `${CRM_URL}/api/customers?page=1&limit=${limit}` }),
+        })),
+    );
+}
+
+async function main() {
+    console.log('');
+    console.log(`Transport benchmark: ${ITERATIONS} requests per scenario, compression threshold ${THRESHOLD} bytes`);
+
+    if (!LIVE) {
+        await benchmarkSynthetic();
+        return;
+    }
+    if (SUBGRAPH_URL) {
+        await benchmarkSubgraph();
+    }
+    if (CRM_URL) {
+        await benchmarkCrm();
+    }
+}
+
+main().catch((error) => {
+    console.error('Benchmark failed:', error);
+    process.exit(1);
+});
@@ -10,21 +10,37 @@ export const config = {
         {
             name: 'customer',
             url: process.env.CUSTOMER_SUBGRAPH_URL || 'http://localhost:4001/graphql',
+            // Spring Boot subgraph serves HTTP/2 cleartext (h2c)
+            http2: process.env.CUSTOMER_SUBGRAPH_HTTP2 !== 'false',
         },
         // TODO: Add more subgraphs as they are built
         // {
         //   name: 'order',
         //   url: process.env.ORDER_SUBGRAPH_URL || 'http://localhost:4002/graphql',
+        //   http2: false, // set true only if the subgraph serves h2c
         // },
         // {
         //   name: 'billing',
         //   url: process.env.BILLING_SUBGRAPH_URL || 'http://localhost:4003/graphql',
+        //   http2: false,
         // },
         // {
         //   name: 'support',
         //   url: process.env.SUPPORT_SUBGRAPH_URL || 'http://localhost:4004/graphql',
+        //   http2: false,
         // },
     ],
+
+    // Transport between gateway and subgraphs (and gateway responses to clients)
+    transport: {
+        // h2c is chosen per subgraph via its `http2` flag above
+        // Maximum time (ms) for one subgraph request over h2c
+        timeoutMs: parseInt(process.env.SUBGRAPH_TIMEOUT_MS || '30000', 10),
+        // Negotiate gzip/br/zstd responses and gzip large request bodies
+        compression: process.env.COMPRESSION_ENABLED !== 'false',
+        // Payloads smaller than this (bytes) are sent uncompressed
+        compressionThreshold: parseInt(process.env.COMPRESSION_THRESHOLD_BYTES || '1024', 10),
+    },
 };
 
 export default config;
\ No newline at end of file
@@ -1,11 +1,13 @@
 import { ApolloServer } from '@apollo/server';
 import { expressMiddleware } from '@apollo/server/express4';
-import { ApolloGateway, IntrospectAndCompose } from '@apollo/gateway';
+import { ApolloGateway, IntrospectAndCompose, RemoteGraphQLDataSource } from '@apollo/gateway';
 import { ApolloServerPluginLandingPageLocalDefault } from '@apollo/server/plugin/landingPage/default';
 import express from 'express';
 import cors from 'cors';
+import compression from 'compression';
 import { config } from './config/subgraphs.js';
 import { createLogger } from './utils/logger.js';
+import { createH2cFetcher } from './utils/h2c-fetcher.js';
 
 const logger = createLogger();
 
@@ -31,11 +33,31 @@ async function startGateway() {
     try {
         // Initialize Apollo Gateway
         logger.info('Initializing gateway with subgraph configuration...');
+        const { transport } = config;
+        const h2cFetcher = createH2cFetcher({
+            compression: transport.compression,
+            compressionThreshold: transport.compressionThreshold,
+            timeoutMs: transport.timeoutMs,
+            logger,
+        });
+        config.subgraphs.forEach(subgraph => {
+            logger.info(`Subgraph ${subgraph.name}: ${subgraph.http2 ? 'HTTP/2 (h2c)' : 'HTTP/1.1'}`);
+        });
+        logger.info(`Compression ${transport.compression ? `on (>= ${transport.compressionThreshold} bytes)` : 'off'}`);
+
         const gateway = new ApolloGateway({
             supergraphSdl: new IntrospectAndCompose({
                 subgraphs: config.subgraphs,
                 pollIntervalInMs: 10000, // Poll for schema changes every 10 seconds
             }),
+            // Route fetches to h2c-capable subgraphs through the h2c fetcher
+            buildService: ({ name, url }) => {
+                const subgraph = config.subgraphs.find(s => s.name === name);
+                return new RemoteGraphQLDataSource({
+                    url,
+                    ...(subgraph?.http2 && { fetcher: h2cFetcher }),
+                });
+            },
             // Service health check
             serviceHealthCheck: true,
             // Log gateway events
@@ -105,6 +127,11 @@ async function startGateway() {
             exposedHeaders: ['*'],
         }));
 
+        // Compress responses above the configured threshold
+        if (config.transport.compression) {
+            app.use(compression({ threshold: config.transport.compressionThreshold }));
+        }
+
         // Parse JSON bodies
         app.use(express.json({ limit: '10mb' }));
 
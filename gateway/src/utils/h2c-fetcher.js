@@ -0,0 +1,274 @@
+import http2 from 'node:http2';
+import zlib from 'node:zlib';
+import { promisify } from 'node:util';
+
+/**
+ * HTTP/2 Cleartext (h2c) Fetcher
+ *
+ * Fetch-compatible function used by RemoteGraphQLDataSource to call subgraphs.
+ * It keeps one multiplexed HTTP/2 session per subgraph origin and negotiates
+ * response compression, so large _entities payloads travel compressed.
+ */
+
+const gzip = promisify(zlib.gzip);
+
+// Decoders in order of preference; zstd only exists on newer Node runtimes
+const DECODERS = {
+    ...(typeof zlib.zstdDecompress === 'function' && { zstd: promisify(zlib.zstdDecompress) }),
+    br: promisify(zlib.brotliDecompress),
+    gzip: promisify(zlib.gunzip),
+    deflate: promisify(zlib.inflate),
+};
+
+export const ACCEPT_ENCODING = Object.keys(DECODERS).join(', ');
+
+// Headers that are not allowed on an HTTP/2 request
+const CONNECTION_HEADERS = new Set(['connection', 'host', 'keep-alive', 'proxy-connection', 'transfer-encoding', 'upgrade']);
+
+// Statuses that must not carry a body when building a Response
+const NULL_BODY_STATUSES = new Set([101, 204, 205, 304]);
+
+function toHeaderObject(headers = {}) {
+    const result = {};
+    let entries;
+    if (Array.isArray(headers)) {
+        entries = headers;
+    } else if (typeof headers.forEach === 'function') {
+        // Headers instance
+        entries = [];
+        headers.forEach((value, key) => entries.push([key, value]));
+    } else {
+        entries = Object.entries(headers);
+    }
+
+    entries.forEach(([key, value]) => {
+        const name = key.toLowerCase();
+        if (!CONNECTION_HEADERS.has(name)) {
+            result[name] = value;
+        }
+    });
+    return result;
+}
+
+export async function decodeBody(body, contentEncoding) {
+    const encoding = (contentEncoding || 'identity').trim().toLowerCase();
+    if (encoding === 'identity') {
+        return body;
+    }
+
+    const decode = DECODERS[encoding];
+    if (!decode) {
+        throw new Error(`Unsupported content-encoding: ${encoding}`);
+    }
+    return decode(body);
+}
+
+const { NGHTTP2_CANCEL, NGHTTP2_REFUSED_STREAM } = http2.constants;
+
+// Stream errors raised before the server processed the request (GOAWAY, closing
+// or closed session); such requests are safe to replay on a fresh session
+const RETRYABLE_ERROR_CODES = new Set(['ERR_HTTP2_GOAWAY_SESSION', 'ERR_HTTP2_INVALID_SESSION', 'ERR_HTTP2_STREAM_CANCEL']);
+
+function abortReason(signal) {
+    return signal.reason ?? new DOMException('The operation was aborted', 'AbortError');
+}
+
+function toResponse(responseHeaders, decoded) {
+    const status = responseHeaders[':status'];
+    const headers = new Headers();
+    Object.entries(responseHeaders).forEach(([key, value]) => {
+        if (!key.startsWith(':') && key !== 'content-encoding' && key !== 'content-length') {
+            headers.append(key, Array.isArray(value) ? value.join(', ') : String(value));
+        }
+    });
+
+    return new Response(NULL_BODY_STATUSES.has(status) ? null : decoded, { status, headers });
+}
+
+/**
+ * Create a fetcher that talks h2c to subgraphs
+ *
+ * A request whose stream is refused or cut off by GOAWAY before any response
+ * arrived (e.g. the subgraph closed an idle connection) is retried once on a
+ * fresh session.
+ *
+ * @param {object} options
+ * @param {boolean} options.compression Negotiate compressed responses and gzip large request bodies
+ * @param {number} options.compressionThreshold Minimum request body size (bytes) to gzip
+ * @param {number} options.timeoutMs Maximum time (ms) for one request, 0 to disable
+ * @param {object} options.connectOptions Options passed to http2.connect (e.g. createConnection)
+ * @param {object} options.logger Logger instance
+ */
+export function createH2cFetcher({
+    compression = true,
+    compressionThreshold = 1024,
+    timeoutMs = 30000,
+    connectOptions = {},
+    logger,
+} = {}) {
+    const sessions = new Map();
+    // In-flight requests per session, failed as retryable if GOAWAY skips them
+    const pendingBySession = new WeakMap();
+
+    function evictSession(origin, session) {
+        if (sessions.get(origin) === session) {
+            sessions.delete(origin);
+        }
+    }
+
+    function getSession(origin) {
+        const existing = sessions.get(origin);
+        if (existing && !existing.closed && !existing.destroyed) {
+            return existing;
+        }
+
+        const session = http2.connect(origin, connectOptions);
+        session.on('error', (error) => {
+            logger?.warn(`h2c session to ${origin} failed:`, error.message);
+        });
+        // No new streams may be opened once the server sent GOAWAY; Node leaves
+        // streams above a graceful GOAWAY's last stream id hanging, although
+        // the server never processed them
+        session.on('goaway', (errorCode, lastStreamID) => {
+            evictSession(origin, session);
+            pendingBySession.get(session).forEach((request) => request.onGoaway(lastStreamID));
+        });
+        session.on('close', () => evictSession(origin, session));
+        // Do not keep the process alive just for idle subgraph sessions
+        session.unref();
+
+        sessions.set(origin, session);
+        pendingBySession.set(session, new Set());
+        logger?.debug(`Opened h2c session to ${origin}`);
+        return session;
+    }
+
+    function sendOnce(target, headers, body, signal) {
+        const session = getSession(target.origin);
+
+        return new Promise((resolve, reject) => {
+            let stream;
+            let responseHeaders = null;
+            let settled = false;
+            let timer;
+            const chunks = [];
+
+            const onAbort = () => {
+                stream?.close(NGHTTP2_CANCEL);
+                settle(reject, abortReason(signal));
+            };
+
+            const pending = pendingBySession.get(session);
+            const request = {
+                onGoaway(lastStreamID) {
+                    if (responseHeaders === null && (stream?.id === undefined || stream.id > lastStreamID)) {
+                        stream?.close(NGHTTP2_CANCEL);
+                        const error = new Error(`Stream to ${target.href} was not processed before GOAWAY`);
+                        error.code = 'ERR_HTTP2_GOAWAY_SESSION';
+                        fail(error);
+                    }
+                },
+            };
+
+            function settle(callback, value) {
+                if (settled) {
+                    return;
+                }
+                settled = true;
+                clearTimeout(timer);
+                signal?.removeEventListener('abort', onAbort);
+                pending.delete(request);
+                callback(value);
+            }
+
+            function fail(error) {
+                error.retryable = responseHeaders === null
+                    && (RETRYABLE_ERROR_CODES.has(error.code) || stream?.rstCode === NGHTTP2_REFUSED_STREAM);
+                if (error.retryable) {
+                    evictSession(target.origin, session);
+                }
+                settle(reject, error);
+            }
+
+            try {
+                stream = session.request({
+                    ...headers,
+                    ':path': `${target.pathname}${target.search}`,
+                });
+            } catch (error) {
+                fail(error);
+                return;
+            }
+
+            signal?.addEventListener('abort', onAbort, { once: true });
+            pending.add(request);
+            if (timeoutMs > 0) {
+                timer = setTimeout(() => {
+                    stream.close(NGHTTP2_CANCEL);
+                    settle(reject, new Error(`Subgraph request to ${target.href} timed out after ${timeoutMs} ms`));
+                }, timeoutMs);
+            }
+
+            stream.on('response', (received) => {
+                responseHeaders = received;
+            });
+            stream.on('data', (chunk) => chunks.push(chunk));
+            stream.on('error', fail);
+            stream.on('close', () => {
+                if (!settled && responseHeaders === null) {
+                    const error = new Error(`Stream to ${target.href} closed with code ${stream.rstCode} before a response`);
+                    error.code = 'ERR_HTTP2_STREAM_ERROR';
+                    fail(error);
+                }
+            });
+            stream.on('end', async () => {
+                try {
+                    const decoded = await decodeBody(Buffer.concat(chunks), responseHeaders?.['content-encoding']);
+                    settle(resolve, toResponse(responseHeaders, decoded));
+                } catch (error) {
+                    settle(reject, error);
+                }
+            });
+
+            stream.end(body || undefined);
+        });
+    }
+
+    async function fetcher(url, init = {}) {
+        const { signal } = init;
+        if (signal?.aborted) {
+            throw abortReason(signal);
+        }
+
+        const target = new URL(url);
+        const headers = toHeaderObject(init.headers);
+        headers[':method'] = init.method || 'GET';
+        let body = init.body === undefined || init.body === null ? null : Buffer.from(init.body);
+
+        if (compression) {
+            headers['accept-encoding'] = ACCEPT_ENCODING;
+
+            if (body && body.length >= compressionThreshold && !headers['content-encoding']) {
+                body = await gzip(body);
+                headers['content-encoding'] = 'gzip';
+            }
+        }
+        if (body) {
+            headers['content-length'] = String(body.length);
+        }
+
+        try {
+            return await sendOnce(target, headers, body, signal);
+        } catch (error) {
+            if (!error.retryable || signal?.aborted) {
+                throw error;
+            }
+            logger?.debug(`Retrying ${target.href} on a fresh h2c session: ${error.message}`);
+            return sendOnce(target, headers, body, signal);
+        }
+    }
+
+    return fetcher;
+}
+
+export default createH2cFetcher;
@@ -0,0 +1,276 @@
+import { test, describe, before, after } from 'node:test';
+import assert from 'node:assert/strict';
+import http2 from 'node:http2';
+import zlib from 'node:zlib';
+import { createH2cFetcher, decodeBody, ACCEPT_ENCODING } from '../src/utils/h2c-fetcher.js';
+
+/**
+ * h2c fetcher tests
+ *
+ * Each test installs a stream handler on a local h2c server and inspects what
+ * the fetcher sent and how it turned the server's reply into a Response.
+ */
+
+const { NGHTTP2_REFUSED_STREAM, NGHTTP2_NO_ERROR } = http2.constants;
+
+let server;
+let origin;
+let handler;
+let sessions;
+
+before(async () => {
+    server = http2.createServer();
+    sessions = new Set();
+    server.on('session', (session) => {
+        sessions.add(session);
+        session.on('close', () => sessions.delete(session));
+    });
+    server.on('stream', (stream, headers) => {
+        const chunks = [];
+        // Streams the tests refuse or cancel error on the server side too
+        stream.on('error', () => {});
+        stream.on('data', (chunk) => chunks.push(chunk));
+        stream.on('end', () => handler(stream, headers, Buffer.concat(chunks)));
+    });
+    await new Promise((resolve) => server.listen(0, '127.0.0.1', resolve));
+    origin = `http://127.0.0.1:${server.address().port}`;
+});
+
+after(() => {
+    sessions.forEach((session) => session.destroy());
+    server.close();
+});
+
+function respondJson(stream, value, extraHeaders = {}) {
+    stream.respond({ ':status': 200, 'content-type': 'application/json', ...extraHeaders });
+    stream.end(JSON.stringify(value));
+}
+
+describe('encoding', () => {
+    test('gzips request bodies at or above the threshold only', async () => {
+        const received = [];
+        handler = (stream, headers, body) => {
+            received.push({ encoding: headers['content-encoding'], body });
+            respondJson(stream, {});
+        };
+        const fetcher = createH2cFetcher({ compressionThreshold: 100 });
+
+        const small = '{"query":"{ __typename }"}';
+        const large = JSON.stringify({ query: 'x'.repeat(500) });
+        await fetcher(`${origin}/graphql`, { method: 'POST', body: small });
+        await fetcher(`${origin}/graphql`, { method: 'POST', body: large });
+
+        assert.equal(received[0].encoding, undefined);
+        assert.equal(received[0].body.toString(), small);
+        assert.equal(received[1].encoding, 'gzip');
+        assert.equal(zlib.gunzipSync(received[1].body).toString(), large);
+    });
+
+    test('advertises accepted encodings only when compression is enabled', async () => {
+        const seen = [];
+        handler = (stream, headers) => {
+            seen.push(headers['accept-encoding']);
+            respondJson(stream, {});
+        };
+
+        await createH2cFetcher()(`${origin}/graphql`);
+        await createH2cFetcher({ compression: false })(`${origin}/graphql`, {
+            method: 'POST',
+            body: 'x'.repeat(5000),
+        });
+
+        assert.equal(seen[0], ACCEPT_ENCODING);
+        assert.equal(seen[1], undefined);
+    });
+
+    test('decodes gzip and br responses and drops encoding headers', async () => {
+        const payload = { data: { _entities: [{ customerId: 'CUST001' }] } };
+        const fetcher = createH2cFetcher();
+
+        for (const [encoding, encode] of [['gzip', zlib.gzipSync], ['br', zlib.brotliCompressSync]]) {
+            handler = (stream) => {
+                const body = encode(JSON.stringify(payload));
+                stream.respond({
+                    ':status': 200,
+                    'content-type': 'application/json',
+                    'content-encoding': encoding,
+                    'content-length': body.length,
+                });
+                stream.end(body);
+            };
+
+            const response = await fetcher(`${origin}/graphql`);
+            assert.deepEqual(await response.json(), payload);
+            assert.equal(response.headers.get('content-encoding'), null);
+            assert.equal(response.headers.get('content-length'), null);
+            assert.equal(response.headers.get('content-type'), 'application/json');
+        }
+    });
+
+    test('rejects unsupported content encodings', async () => {
+        await assert.rejects(decodeBody(Buffer.from('x'), 'compress'), /Unsupported content-encoding: compress/);
+        assert.equal((await decodeBody(Buffer.from('x'), undefined)).toString(), 'x');
+    });
+});
+
+describe('headers', () => {
+    test('drops connection-specific headers from plain objects', async () => {
+        let seen;
+        handler = (stream, headers) => {
+            seen = headers;
+            respondJson(stream, {});
+        };
+
+        await createH2cFetcher()(`${origin}/graphql`, {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+                Connection: 'keep-alive',
+                'Keep-Alive': 'timeout=5',
+                Host: 'example.com',
+                'Transfer-Encoding': 'chunked',
+                'X-Request-Id': 'abc',
+            },
+            body: '{}',
+        });
+
+        assert.equal(seen['content-type'], 'application/json');
+        assert.equal(seen['x-request-id'], 'abc');
+        assert.equal(seen[':method'], 'POST');
+        assert.equal(seen[':path'], '/graphql');
+        ['connection', 'keep-alive', 'host', 'transfer-encoding'].forEach((name) => {
+            assert.equal(seen[name], undefined, name);
+        });
+    });
+
+    test('accepts Headers instances and entry arrays', async () => {
+        const seen = [];
+        handler = (stream, headers) => {
+            seen.push(headers['x-trace']);
+            respondJson(stream, {});
+        };
+        const fetcher = createH2cFetcher();
+
+        await fetcher(`${origin}/graphql?x=1`, { headers: new Headers({ 'X-Trace': 'from-headers' }) });
+        await fetcher(`${origin}/graphql`, { headers: [['X-Trace', 'from-array']] });
+
+        assert.deepEqual(seen, ['from-headers', 'from-array']);
+    });
+});
+
+describe('status handling', () => {
+    test('passes error statuses through with their body', async () => {
+        handler = (stream) => {
+            stream.respond({ ':status': 500, 'content-type': 'application/json' });
+            stream.end('{"errors":[{"message":"boom"}]}');
+        };
+
+        const response = await createH2cFetcher()(`${origin}/graphql`);
+        assert.equal(response.status, 500);
+        assert.equal(response.ok, false);
+        assert.deepEqual(await response.json(), { errors: [{ message: 'boom' }] });
+    });
+
+    test('returns a null body for 204', async () => {
+        handler = (stream) => {
+            stream.respond({ ':status': 204 });
+            stream.end();
+        };
+
+        const response = await createH2cFetcher()(`${origin}/graphql`);
+        assert.equal(response.status, 204);
+        assert.equal(response.body, null);
+    });
+});
+
+describe('resilience', () => {
+    test('retries a refused stream once on a fresh session', async () => {
+        let calls = 0;
+        handler = (stream) => {
+            calls += 1;
+            if (calls === 1) {
+                stream.close(NGHTTP2_REFUSED_STREAM);
+                return;
+            }
+            respondJson(stream, { ok: true });
+        };
+
+        const response = await createH2cFetcher()(`${origin}/graphql`, { method: 'POST', body: '{}' });
+        assert.deepEqual(await response.json(), { ok: true });
+        assert.equal(calls, 2);
+    });
+
+    test('gives up after one retry', async () => {
+        let calls = 0;
+        handler = (stream) => {
+            calls += 1;
+            stream.close(NGHTTP2_REFUSED_STREAM);
+        };
+
+        await assert.rejects(createH2cFetcher()(`${origin}/graphql`));
+        assert.equal(calls, 2);
+    });
+
+    test('opens a new session after the server sent GOAWAY', async () => {
+        handler = (stream) => {
+            respondJson(stream, { ok: true });
+            stream.session.goaway(NGHTTP2_NO_ERROR);
+        };
+        const fetcher = createH2cFetcher();
+
+        await fetcher(`${origin}/graphql`);
+        // Let the GOAWAY frame reach the client
+        await new Promise((resolve) => setTimeout(resolve, 50));
+        const response = await fetcher(`${origin}/graphql`);
+
+        assert.deepEqual(await response.json(), { ok: true });
+    });
+
+    test('multiplexes many concurrent requests without listener warnings', async () => {
+        const warnings = [];
+        const onWarning = (warning) => warnings.push(warning);
+        process.on('warning', onWarning);
+        handler = (stream, headers, body) => respondJson(stream, JSON.parse(body));
+        const fetcher = createH2cFetcher();
+
+        try {
+            const responses = await Promise.all(Array.from({ length: 20 }, (_, i) => fetcher(`${origin}/graphql`, {
+                method: 'POST',
+                headers: { 'content-type': 'application/json' },
+                body: JSON.stringify({ index: i }),
+            })));
+
+            assert.deepEqual(
+                await Promise.all(responses.map((response) => response.json())),
+                Array.from({ length: 20 }, (_, i) => ({ index: i })),
+            );
+            // Warnings are emitted on the next tick
+            await new Promise((resolve) => setImmediate(resolve));
+            assert.deepEqual(warnings.map((warning) => warning.name), []);
+        } finally {
+            process.off('warning', onWarning);
+        }
+    });
+
+    test('honours an abort signal', async () => {
+        handler = () => {};
+        const controller = new AbortController();
+        const pending = createH2cFetcher()(`${origin}/graphql`, { signal: controller.signal });
+        setTimeout(() => controller.abort(), 20);
+
+        await assert.rejects(pending, { name: 'AbortError' });
+        await assert.rejects(
+            createH2cFetcher()(`${origin}/graphql`, { signal: AbortSignal.abort() }),
+            { name: 'AbortError' },
+        );
+    });
+
+    test('times out a stream that never answers', async () => {
+        handler = () => {};
+
+        await assert.rejects(
+            createH2cFetcher({ timeoutMs: 50 })(`${origin}/graphql`),
+            /timed out after 50 ms/,
+        );
+    });
+});
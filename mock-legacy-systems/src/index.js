@@ -1,5 +1,6 @@
 const express = require('express');
 const cors = require('cors');
+const compression = require('compression');
 const morgan = require('morgan');
 require('dotenv').config();
 
@@ -10,9 +11,11 @@ const supportRoutes = require('./routes/support-api');
 
 const app = express();
 const PORT = process.env.PORT || 5001;
+const COMPRESSION_THRESHOLD_BYTES = parseInt(process.env.COMPRESSION_THRESHOLD_BYTES || '1024', 10);
 
 // Middleware
 app.use(cors());
+app.use(compression({ threshold: COMPRESSION_THRESHOLD_BYTES })); // gzip/br when the client accepts it
 app.use(morgan('dev'));
 app.use(express.json());
 
@@ -44,7 +47,8 @@ app.get('/', (req, res) => {
         endpoints: {
             crm: {
                 getCustomer: 'GET /api/customers/:id',
-                searchCustomers: 'GET /api/customers/search?query=:query'
+                searchCustomers: 'GET /api/customers/search?query=:query',
+                listCustomers: 'GET /api/customers?page=:page&limit=:limit'
             },
             orders: {
                 getOrders: 'GET /api/orders?customerId=:customerId',
@@ -3,8 +3,7 @@ package com.enterprise.customer360.customer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Customer Profile Subgraph Application
@@ -19,6 +18,7 @@ import org.springframework.web.client.RestTemplate;
  */
 @SpringBootApplication
 @ConfigurationPropertiesScan
+@EnableScheduling
 public class CustomerApplication {
 
     public static void main(String[] args) {
@@ -44,9 +44,4 @@ public class CustomerApplication {
                 "║                                                          ║\n" +
                 "╚══════════════════════════════════════════════════════════╝\n");
     }
-
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
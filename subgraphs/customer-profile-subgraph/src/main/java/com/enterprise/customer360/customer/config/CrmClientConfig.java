@@ -0,0 +1,60 @@
+package com.enterprise.customer360.customer.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CRM Client Configuration
+ *
+ * Builds the RestTemplate used by CrmApiClient on a pooled Apache HttpClient.
+ * HttpClient sends Accept-Encoding and transparently decompresses CRM responses;
+ * the pool is sized for concurrent _entities fan-out from the gateway.
+ */
+@Slf4j
+@Configuration
+public class CrmClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient crmHttpClient(
+            @Value("${crm.api.timeout}") long timeoutMillis,
+            @Value("${crm.api.pool.max-total:200}") int maxTotal,
+            @Value("${crm.api.pool.max-per-route:200}") int maxPerRoute) {
+        log.info("CRM HTTP client: pool {} total / {} per route, timeout {} ms", maxTotal, maxPerRoute, timeoutMillis);
+
+        Timeout timeout = Timeout.ofMilliseconds(timeoutMillis);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout)
+                        .setResponseTimeout(timeout)
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient crmHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(crmHttpClient));
+    }
+}
@@ -3,7 +3,9 @@ package com.enterprise.customer360.customer.config;
 import com.apollographql.federation.graphqljava.Federation;
 import com.apollographql.federation.graphqljava._Entity;
 import com.enterprise.customer360.customer.model.Customer;
+import com.enterprise.customer360.customer.service.AggregatesNotReadyException;
 import com.enterprise.customer360.customer.service.CustomerService;
+import graphql.GraphqlErrorBuilder;
 import graphql.schema.DataFetcher;
 import graphql.schema.TypeResolver;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
 
 import java.util.List;
 import java.util.Map;
@@ -83,4 +88,22 @@ public class GraphQLConfig {
             log.info("Apollo Federation support configured successfully");
         };
     }
+
+    /**
+     * Surface "aggregates not ready" as a descriptive GraphQL error
+     *
+     * Other exceptions keep Spring for GraphQL's default handling.
+     */
+    @Bean
+    public DataFetcherExceptionResolver aggregatesNotReadyExceptionResolver() {
+        return DataFetcherExceptionResolverAdapter.from((ex, env) -> {
+            if (ex instanceof AggregatesNotReadyException) {
+                return GraphqlErrorBuilder.newError(env)
+                        .errorType(ErrorType.INTERNAL_ERROR)
+                        .message(ex.getMessage())
+                        .build();
+            }
+            return null;
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package com.enterprise.customer360.customer.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Request Decompression Filter
+ *
+ * The gateway gzips large GraphQL request bodies (e.g. _entities representations).
+ * Tomcat only compresses responses, so gzip request bodies are decoded here
+ * before Spring for GraphQL reads them.
+ *
+ * The body is decoded up front into a buffer capped at
+ * compression.request.max-decompressed-size bytes: bodies that inflate past
+ * the cap are rejected with 413, malformed gzip with 400.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final long maxDecompressedSize;
+
+    public RequestDecompressionFilter(
+            @Value("${compression.request.max-decompressed-size:10485760}") long maxDecompressedSize) {
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return contentEncoding == null || !GZIP.equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body;
+        try {
+            body = decompress(request.getInputStream());
+        } catch (BodyTooLargeException e) {
+            log.warn("Rejecting gzip request body for {}: decompressed size exceeds {} bytes",
+                    request.getRequestURI(), maxDecompressedSize);
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Decompressed request body too large");
+            return;
+        } catch (IOException e) {
+            log.warn("Rejecting malformed gzip request body for {}: {}", request.getRequestURI(), e.getMessage());
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Malformed gzip request body");
+            return;
+        }
+
+        log.debug("Decompressed gzip request body for {} ({} bytes)", request.getRequestURI(), body.length);
+        filterChain.doFilter(new DecompressedRequestWrapper(request, body), response);
+    }
+
+    private byte[] decompress(InputStream compressed) throws IOException {
+        try (GZIPInputStream gzipStream = new GZIPInputStream(compressed)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = gzipStream.read(buffer)) != -1) {
+                if (output.size() + count > maxDecompressedSize) {
+                    throw new BodyTooLargeException();
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static class BodyTooLargeException extends IOException {
+    }
+
+    /**
+     * Exposes the decompressed body and hides the original encoding headers
+     */
+    private static class DecompressedRequestWrapper extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        DecompressedRequestWrapper(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (inputStream == null) {
+                inputStream = new BufferedServletInputStream(body);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return String.valueOf(body.length);
+            }
+            return isContentEncoding(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return Collections.enumeration(Collections.singletonList(String.valueOf(body.length)));
+            }
+            return isContentEncoding(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isContentEncoding(name))
+                    .toList());
+        }
+
+        private boolean isContentEncoding(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Servlet stream over the already decoded body
+     *
+     * All data is in memory, so async readers are told it is available at once.
+     */
+    private static class BufferedServletInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        BufferedServletInputStream(byte[] body) {
+            this.delegate = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return delegate.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.enterprise.customer360.customer.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CRM API Paginated Response DTO
+ *
+ * Maps one page of the legacy CRM API (mock) customer listing
+ * returned by GET /api/customers?page=:page&limit=:limit
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CrmCustomerPageResponse {
+
+    private Integer page;
+    private Integer limit;
+    private Integer total;
+    private List<CrmCustomerResponse> customers;
+}
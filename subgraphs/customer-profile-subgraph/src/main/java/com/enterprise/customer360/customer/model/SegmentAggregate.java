@@ -0,0 +1,38 @@
+package com.enterprise.customer360.customer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Segment Aggregate model
+ *
+ * Represents pre-computed totals for all customers in a segment
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentAggregate {
+
+    /**
+     * Customer segment these totals belong to
+     */
+    private CustomerSegment segment;
+
+    /**
+     * Number of customers in the segment
+     */
+    private Integer customerCount;
+
+    /**
+     * Sum of lifetime value in dollars
+     */
+    private Double totalLifetimeValue;
+
+    /**
+     * Average risk score (null when no customer has a risk score)
+     */
+    private Double averageRiskScore;
+}
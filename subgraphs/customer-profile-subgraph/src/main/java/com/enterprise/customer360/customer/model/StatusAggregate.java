@@ -0,0 +1,33 @@
+package com.enterprise.customer360.customer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status Aggregate model
+ *
+ * Represents pre-computed totals for all customers with an account status
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusAggregate {
+
+    /**
+     * Customer account status these totals belong to
+     */
+    private CustomerStatus status;
+
+    /**
+     * Number of customers with the status
+     */
+    private Integer customerCount;
+
+    /**
+     * Sum of lifetime value in dollars
+     */
+    private Double totalLifetimeValue;
+}
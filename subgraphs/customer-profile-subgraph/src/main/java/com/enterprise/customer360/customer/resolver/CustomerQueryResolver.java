@@ -7,6 +7,10 @@ import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
 import com.enterprise.customer360.customer.model.Customer;
+import com.enterprise.customer360.customer.model.CustomerSegment;
+import com.enterprise.customer360.customer.model.CustomerStatus;
+import com.enterprise.customer360.customer.model.SegmentAggregate;
+import com.enterprise.customer360.customer.model.StatusAggregate;
 import com.enterprise.customer360.customer.service.CustomerService;
 
 import jakarta.annotation.PostConstruct;
@@ -61,4 +65,52 @@ public class CustomerQueryResolver {
 
         return customers;
     }
+
+    /**
+     * GraphQL Query: segmentAggregates: [SegmentAggregate!]!
+     * 
+     * Returns pre-computed totals for every customer segment
+     */
+    @QueryMapping
+    public List<SegmentAggregate> segmentAggregates() {
+        log.info("GraphQL Query: segmentAggregates");
+
+        return customerService.getSegmentAggregates();
+    }
+
+    /**
+     * GraphQL Query: segmentAggregate(segment: CustomerSegment!): SegmentAggregate!
+     * 
+     * Returns pre-computed totals for a single customer segment
+     */
+    @QueryMapping
+    public SegmentAggregate segmentAggregate(@Argument CustomerSegment segment) {
+        log.info("GraphQL Query: segmentAggregate(segment: {})", segment);
+
+        return customerService.getSegmentAggregate(segment);
+    }
+
+    /**
+     * GraphQL Query: statusAggregates: [StatusAggregate!]!
+     * 
+     * Returns pre-computed totals for every customer status
+     */
+    @QueryMapping
+    public List<StatusAggregate> statusAggregates() {
+        log.info("GraphQL Query: statusAggregates");
+
+        return customerService.getStatusAggregates();
+    }
+
+    /**
+     * GraphQL Query: statusAggregate(status: CustomerStatus!): StatusAggregate!
+     * 
+     * Returns pre-computed totals for a single customer status
+     */
+    @QueryMapping
+    public StatusAggregate statusAggregate(@Argument CustomerStatus status) {
+        log.info("GraphQL Query: statusAggregate(status: {})", status);
+
+        return customerService.getStatusAggregate(status);
+    }
 }
\ No newline at end of file
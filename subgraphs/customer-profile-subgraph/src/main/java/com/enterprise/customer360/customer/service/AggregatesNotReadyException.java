@@ -0,0 +1,14 @@
+package com.enterprise.customer360.customer.service;
+
+/**
+ * Aggregates Not Ready Exception
+ *
+ * Thrown by aggregate queries until the first full CRM load has completed,
+ * so callers get an error instead of empty totals.
+ */
+public class AggregatesNotReadyException extends RuntimeException {
+
+    public AggregatesNotReadyException() {
+        super("Customer aggregates are not available yet; the initial CRM load has not completed");
+    }
+}
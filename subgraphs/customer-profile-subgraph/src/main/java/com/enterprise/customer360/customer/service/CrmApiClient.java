@@ -6,9 +6,11 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.enterprise.customer360.customer.dto.CrmCustomerPageResponse;
 import com.enterprise.customer360.customer.dto.CrmCustomerResponse;
 
 import jakarta.annotation.PostConstruct;
@@ -44,6 +46,7 @@ public class CrmApiClient {
      * 
      * @param customerId Customer ID
      * @return Customer response from CRM
+     * @throws HttpClientErrorException.NotFound if the CRM does not know the customer
      */
     public CrmCustomerResponse getCustomerById(String customerId) {
         String url = crmApiBaseUrl + "/api/customers/" + customerId;
@@ -53,6 +56,9 @@ public class CrmApiClient {
             CrmCustomerResponse response = restTemplate.getForObject(url, CrmCustomerResponse.class);
             log.debug("Successfully fetched customer: {}", customerId);
             return response;
+        } catch (HttpClientErrorException.NotFound e) {
+            log.warn("Customer {} not found in CRM API", customerId);
+            throw e;
         } catch (RestClientException e) {
             log.error("Error fetching customer {} from CRM API: {}", customerId, e.getMessage());
             throw new RuntimeException("Failed to fetch customer from CRM: " + e.getMessage(), e);
@@ -83,4 +89,25 @@ public class CrmApiClient {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Get one page of all customers from CRM API
+     * 
+     * @param page  Page number (1-based)
+     * @param limit Page size
+     * @return Page of customers from CRM
+     */
+    public CrmCustomerPageResponse getCustomersPage(int page, int limit) {
+        String url = crmApiBaseUrl + "/api/customers?page=" + page + "&limit=" + limit;
+
+        try {
+            log.debug("Fetching customers page {} (limit {}) from CRM API", page, limit);
+            CrmCustomerPageResponse response = restTemplate.getForObject(url, CrmCustomerPageResponse.class);
+            log.debug("Successfully fetched customers page: {}", page);
+            return response;
+        } catch (RestClientException e) {
+            log.error("Error fetching customers page {} from CRM API: {}", page, e.getMessage());
+            throw new RuntimeException("Failed to fetch customers from CRM: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,278 @@
+package com.enterprise.customer360.customer.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.enterprise.customer360.customer.model.Customer;
+import com.enterprise.customer360.customer.model.CustomerSegment;
+import com.enterprise.customer360.customer.model.CustomerStatus;
+import com.enterprise.customer360.customer.model.SegmentAggregate;
+import com.enterprise.customer360.customer.model.StatusAggregate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Customer Aggregates
+ *
+ * Keeps running totals per segment and per status in memory.
+ * Totals are rebuilt from a full CRM load and then adjusted by the delta
+ * of each customer record fetched afterwards, so reads never scan customers.
+ * Lifetime value is summed in cents so repeated deltas do not drift.
+ */
+@Slf4j
+@Component
+public class CustomerAggregates {
+
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final Map<CustomerSegment, Totals> segmentTotals = new EnumMap<>(CustomerSegment.class);
+    private final Map<CustomerStatus, Totals> statusTotals = new EnumMap<>(CustomerStatus.class);
+
+    /**
+     * Records applied while a full load is in progress; null when no load is running.
+     * A null value marks a customer removed during the load.
+     */
+    private Map<String, Contribution> recordedDuringRebuild;
+
+    private boolean loaded;
+
+    public CustomerAggregates() {
+        reset();
+    }
+
+    /**
+     * Mark the start of a full load
+     *
+     * Records applied from now on are kept and re-applied on top of the
+     * loaded pages, so a page read earlier cannot roll them back.
+     */
+    public synchronized void beginRebuild() {
+        recordedDuringRebuild = new HashMap<>();
+    }
+
+    /**
+     * Mark a full load as failed; current totals are left untouched
+     */
+    public synchronized void abortRebuild() {
+        recordedDuringRebuild = null;
+    }
+
+    /**
+     * Replace all totals with the given full customer set
+     *
+     * Records applied since {@link #beginRebuild()} win over the loaded copy
+     * unless the loaded copy has a newer lastUpdated timestamp.
+     *
+     * @param customers Every customer known to the CRM
+     */
+    public synchronized void rebuild(Collection<Customer> customers) {
+        Map<String, Contribution> recorded = recordedDuringRebuild != null ? recordedDuringRebuild : Map.of();
+        recordedDuringRebuild = null;
+
+        reset();
+        customers.stream()
+                .filter(customer -> customer != null && customer.getCustomerId() != null)
+                .forEach(customer -> apply(customer.getCustomerId(), Contribution.of(customer)));
+
+        recorded.forEach((customerId, contribution) -> {
+            if (contribution == null) {
+                discard(customerId);
+                return;
+            }
+            Contribution fromLoad = contributions.get(customerId);
+            if (fromLoad == null || !fromLoad.isNewerThan(contribution)) {
+                apply(customerId, contribution);
+            }
+        });
+
+        loaded = true;
+        log.info("Customer aggregates rebuilt from {} customers ({} kept from concurrent fetches)",
+                contributions.size(), recorded.size());
+    }
+
+    /**
+     * Apply a freshly fetched customer record
+     *
+     * Only the difference to the previously recorded version is applied.
+     * A copy older than the recorded one (e.g. a slower concurrent fetch of
+     * the same customer) is ignored.
+     *
+     * @param customer Customer as last returned by the CRM
+     */
+    public synchronized void record(Customer customer) {
+        if (customer == null || customer.getCustomerId() == null) {
+            return;
+        }
+
+        Contribution contribution = Contribution.of(customer);
+        Contribution current = contributions.get(customer.getCustomerId());
+        if (current != null && current.isNewerThan(contribution)) {
+            log.debug("Ignoring stale copy of customer {} (lastUpdated {} < {})",
+                    customer.getCustomerId(), contribution.lastUpdated(), current.lastUpdated());
+            return;
+        }
+        if (recordedDuringRebuild != null) {
+            recordedDuringRebuild.put(customer.getCustomerId(), contribution);
+        }
+        apply(customer.getCustomerId(), contribution);
+    }
+
+    /**
+     * Remove a customer the CRM no longer knows
+     *
+     * Subtracts its recorded contribution; a load in progress will not add
+     * it back from a page read before the removal.
+     *
+     * @param customerId Customer ID confirmed as not found
+     */
+    public synchronized void remove(String customerId) {
+        if (customerId == null) {
+            return;
+        }
+        if (recordedDuringRebuild != null) {
+            recordedDuringRebuild.put(customerId, null);
+        }
+        discard(customerId);
+    }
+
+    /**
+     * Whether a full load has completed at least once
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized SegmentAggregate getSegmentAggregate(CustomerSegment segment) {
+        Totals totals = segmentTotals.get(segment);
+        return SegmentAggregate.builder()
+                .segment(segment)
+                .customerCount(totals.count)
+                .totalLifetimeValue(totals.lifetimeValue())
+                .averageRiskScore(totals.riskScoreCount == 0
+                        ? null
+                        : (double) totals.riskScoreSum / totals.riskScoreCount)
+                .build();
+    }
+
+    public synchronized List<SegmentAggregate> getSegmentAggregates() {
+        return Arrays.stream(CustomerSegment.values())
+                .map(this::getSegmentAggregate)
+                .collect(Collectors.toList());
+    }
+
+    public synchronized StatusAggregate getStatusAggregate(CustomerStatus status) {
+        Totals totals = statusTotals.get(status);
+        return StatusAggregate.builder()
+                .status(status)
+                .customerCount(totals.count)
+                .totalLifetimeValue(totals.lifetimeValue())
+                .build();
+    }
+
+    public synchronized List<StatusAggregate> getStatusAggregates() {
+        return Arrays.stream(CustomerStatus.values())
+                .map(this::getStatusAggregate)
+                .collect(Collectors.toList());
+    }
+
+    private void reset() {
+        contributions.clear();
+        for (CustomerSegment segment : CustomerSegment.values()) {
+            segmentTotals.put(segment, new Totals());
+        }
+        for (CustomerStatus status : CustomerStatus.values()) {
+            statusTotals.put(status, new Totals());
+        }
+    }
+
+    private void apply(String customerId, Contribution next) {
+        Contribution previous = contributions.put(customerId, next);
+
+        if (next.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            add(previous, -1);
+            log.debug("Customer aggregates updated for changed customer: {}", customerId);
+        }
+        add(next, 1);
+    }
+
+    private void discard(String customerId) {
+        Contribution previous = contributions.remove(customerId);
+        if (previous != null) {
+            add(previous, -1);
+            log.debug("Customer aggregates updated for removed customer: {}", customerId);
+        }
+    }
+
+    private void add(Contribution contribution, int sign) {
+        segmentTotals.get(contribution.segment()).add(contribution, sign);
+        statusTotals.get(contribution.status()).add(contribution, sign);
+    }
+
+    /**
+     * The part of a customer record that feeds into the aggregates
+     */
+    private record Contribution(CustomerSegment segment, CustomerStatus status,
+                                long lifetimeValueCents, Integer riskScore, String lastUpdated) {
+
+        static Contribution of(Customer customer) {
+            double lifetimeValue = Objects.requireNonNullElse(customer.getLifetimeValue(), 0.0);
+            return new Contribution(
+                    Objects.requireNonNullElse(customer.getSegment(), CustomerSegment.BRONZE),
+                    Objects.requireNonNullElse(customer.getStatus(), CustomerStatus.ACTIVE),
+                    BigDecimal.valueOf(lifetimeValue).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue(),
+                    customer.getRiskScore(),
+                    customer.getLastUpdated());
+        }
+
+        /**
+         * Whether this version is strictly newer than the other one; unknown timestamps are never newer
+         */
+        boolean isNewerThan(Contribution other) {
+            if (lastUpdated == null || other.lastUpdated() == null) {
+                return false;
+            }
+            try {
+                return Instant.parse(lastUpdated).isAfter(Instant.parse(other.lastUpdated()));
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Mutable running totals for one segment or status
+     */
+    private static class Totals {
+        private int count;
+        private long lifetimeValueCents;
+        private long riskScoreSum;
+        private int riskScoreCount;
+
+        void add(Contribution contribution, int sign) {
+            count += sign;
+            lifetimeValueCents += sign * contribution.lifetimeValueCents();
+            if (contribution.riskScore() != null) {
+                riskScoreSum += (long) sign * contribution.riskScore();
+                riskScoreCount += sign;
+            }
+        }
+
+        double lifetimeValue() {
+            return BigDecimal.valueOf(lifetimeValueCents, 2).doubleValue();
+        }
+    }
+}
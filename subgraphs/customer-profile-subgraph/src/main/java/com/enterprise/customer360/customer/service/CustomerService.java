@@ -1,6 +1,10 @@
 package com.enterprise.customer360.customer.service;
 
 import com.enterprise.customer360.customer.model.Customer;
+import com.enterprise.customer360.customer.model.CustomerSegment;
+import com.enterprise.customer360.customer.model.CustomerStatus;
+import com.enterprise.customer360.customer.model.SegmentAggregate;
+import com.enterprise.customer360.customer.model.StatusAggregate;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,4 +31,38 @@ public interface CustomerService {
      * @return List of matching customers
      */
     List<Customer> searchCustomers(String query);
+
+    /**
+     * Get aggregate totals for every customer segment
+     *
+     * @return One aggregate per segment
+     * @throws AggregatesNotReadyException if the initial CRM load has not completed
+     */
+    List<SegmentAggregate> getSegmentAggregates();
+
+    /**
+     * Get aggregate totals for a single customer segment
+     *
+     * @param segment Customer segment
+     * @return Aggregate for the segment
+     * @throws AggregatesNotReadyException if the initial CRM load has not completed
+     */
+    SegmentAggregate getSegmentAggregate(CustomerSegment segment);
+
+    /**
+     * Get aggregate totals for every customer status
+     *
+     * @return One aggregate per status
+     * @throws AggregatesNotReadyException if the initial CRM load has not completed
+     */
+    List<StatusAggregate> getStatusAggregates();
+
+    /**
+     * Get aggregate totals for a single customer status
+     *
+     * @param status Customer status
+     * @return Aggregate for the status
+     * @throws AggregatesNotReadyException if the initial CRM load has not completed
+     */
+    StatusAggregate getStatusAggregate(CustomerStatus status);
 }
\ No newline at end of file
@@ -1,19 +1,26 @@
 package com.enterprise.customer360.customer.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 
+import com.enterprise.customer360.customer.dto.CrmCustomerPageResponse;
 import com.enterprise.customer360.customer.dto.CrmCustomerResponse;
 import com.enterprise.customer360.customer.model.Address;
 import com.enterprise.customer360.customer.model.Customer;
 import com.enterprise.customer360.customer.model.CustomerSegment;
 import com.enterprise.customer360.customer.model.CustomerStatus;
+import com.enterprise.customer360.customer.model.SegmentAggregate;
+import com.enterprise.customer360.customer.model.StatusAggregate;
 
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -24,12 +31,28 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
 
     private final CrmApiClient crmApiClient;
+    private final CustomerAggregates customerAggregates;
+    private final int crmPageSize;
+    private final int crmMaxPages;
 
-    // Constructor removed - Lombok @RequiredArgsConstructor generates it
+    /**
+     * Guards against overlapping full loads (single-flight)
+     */
+    private final AtomicBoolean aggregatesLoading = new AtomicBoolean();
+
+    public CustomerServiceImpl(
+            CrmApiClient crmApiClient,
+            CustomerAggregates customerAggregates,
+            @Value("${crm.api.page-size:100}") int crmPageSize,
+            @Value("${crm.api.max-pages:1000}") int crmMaxPages) {
+        this.crmApiClient = crmApiClient;
+        this.customerAggregates = customerAggregates;
+        this.crmPageSize = crmPageSize;
+        this.crmMaxPages = crmMaxPages;
+    }
 
     @PostConstruct
     public void init() {
@@ -49,9 +72,15 @@ public class CustomerServiceImpl implements CustomerService {
             }
 
             Customer customer = mapToCustomer(crmResponse);
+            customerAggregates.record(customer);
             log.info("Successfully retrieved customer: {}", customerId);
             return Optional.of(customer);
 
+        } catch (HttpClientErrorException.NotFound e) {
+            // Confirmed gone from the CRM, unlike timeouts or other failures
+            log.warn("Customer not found in CRM, removing from aggregates: {}", customerId);
+            customerAggregates.remove(customerId);
+            return Optional.empty();
         } catch (Exception e) {
             log.error("Error retrieving customer {}: {}", customerId, e.getMessage());
             return Optional.empty();
@@ -68,6 +97,7 @@ public class CustomerServiceImpl implements CustomerService {
             List<Customer> customers = crmResponses.stream()
                     .map(this::mapToCustomer)
                     .collect(Collectors.toList());
+            customers.forEach(customerAggregates::record);
 
             log.info("Found {} customers matching query: {}", customers.size(), query);
             return customers;
@@ -78,6 +108,104 @@ public class CustomerServiceImpl implements CustomerService {
         }
     }
 
+    @Override
+    public List<SegmentAggregate> getSegmentAggregates() {
+        ensureAggregatesLoaded();
+        return customerAggregates.getSegmentAggregates();
+    }
+
+    @Override
+    public SegmentAggregate getSegmentAggregate(CustomerSegment segment) {
+        ensureAggregatesLoaded();
+        return customerAggregates.getSegmentAggregate(segment);
+    }
+
+    @Override
+    public List<StatusAggregate> getStatusAggregates() {
+        ensureAggregatesLoaded();
+        return customerAggregates.getStatusAggregates();
+    }
+
+    @Override
+    public StatusAggregate getStatusAggregate(CustomerStatus status) {
+        ensureAggregatesLoaded();
+        return customerAggregates.getStatusAggregate(status);
+    }
+
+    /**
+     * Load the customer aggregates until the first load succeeds
+     *
+     * Runs on the scheduler thread at startup and then every retry interval
+     * while the aggregates are still unavailable; never on a request thread.
+     */
+    @Scheduled(fixedDelayString = "${crm.api.aggregates.retry-interval:30000}")
+    public void loadAggregatesIfNeeded() {
+        if (!customerAggregates.isLoaded()) {
+            loadAggregates();
+        }
+    }
+
+    /**
+     * Build the customer aggregates from one paginated pass over the CRM
+     *
+     * Only one load runs at a time; a call made while a load is in progress
+     * returns immediately.
+     *
+     * @return true if this call completed a load
+     */
+    public boolean loadAggregates() {
+        if (!aggregatesLoading.compareAndSet(false, true)) {
+            log.debug("Customer aggregates load already in progress");
+            return false;
+        }
+
+        log.info("Loading customer aggregates from CRM (page size {})", crmPageSize);
+        customerAggregates.beginRebuild();
+
+        try {
+            customerAggregates.rebuild(fetchAllCustomers());
+            return true;
+        } catch (Exception e) {
+            customerAggregates.abortRebuild();
+            log.error("Error loading customer aggregates, will retry: {}", e.getMessage());
+            return false;
+        } finally {
+            aggregatesLoading.set(false);
+        }
+    }
+
+    /**
+     * Page through GET /api/customers until the listing is exhausted
+     */
+    private List<Customer> fetchAllCustomers() {
+        List<Customer> customers = new ArrayList<>();
+
+        for (int page = 1; page <= crmMaxPages; page++) {
+            CrmCustomerPageResponse crmPage = crmApiClient.getCustomersPage(page, crmPageSize);
+            if (crmPage == null || crmPage.getCustomers() == null || crmPage.getCustomers().isEmpty()) {
+                return customers;
+            }
+
+            crmPage.getCustomers().stream()
+                    .map(this::mapToCustomer)
+                    .forEach(customers::add);
+
+            boolean lastPage = crmPage.getCustomers().size() < crmPageSize
+                    || (crmPage.getTotal() != null && customers.size() >= crmPage.getTotal());
+            if (lastPage) {
+                return customers;
+            }
+        }
+
+        throw new IllegalStateException("CRM customer listing exceeded " + crmMaxPages + " pages");
+    }
+
+    private void ensureAggregatesLoaded() {
+        if (!customerAggregates.isLoaded()) {
+            throw new AggregatesNotReadyException();
+        }
+    }
+
     /**
      * Map CRM API response to Customer domain model
      */
@@ -0,0 +1,106 @@
+package com.enterprise.customer360.customer.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+class RequestDecompressionFilterTests {
+
+    private static final int MAX_DECOMPRESSED_SIZE = 1024;
+
+    private static final String GRAPHQL_BODY =
+            "{\"query\":\"query($representations:[_Any!]!){_entities(representations:$representations){__typename}}\","
+                    + "\"variables\":{\"representations\":[{\"__typename\":\"Customer\",\"customerId\":\"CUST001\"}]}}";
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new EchoController())
+                .addFilters(new RequestDecompressionFilter(MAX_DECOMPRESSED_SIZE))
+                .build();
+    }
+
+    @Test
+    void gzipGraphQlBodyIsDecompressed() throws Exception {
+        mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip(GRAPHQL_BODY.getBytes(StandardCharsets.UTF_8))))
+                .andExpect(status().isOk())
+                .andExpect(content().string("none:" + GRAPHQL_BODY));
+    }
+
+    @Test
+    void uncompressedBodyPassesThrough() throws Exception {
+        mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(GRAPHQL_BODY))
+                .andExpect(status().isOk())
+                .andExpect(content().string("none:" + GRAPHQL_BODY));
+    }
+
+    @Test
+    void malformedGzipBodyIsRejected() throws Exception {
+        byte[] truncated = Arrays.copyOf(gzip(GRAPHQL_BODY.getBytes(StandardCharsets.UTF_8)), 20);
+
+        mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(truncated))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(GRAPHQL_BODY))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void oversizedDecompressedBodyIsRejected() throws Exception {
+        // Compresses to a few bytes but inflates past the limit
+        byte[] bomb = gzip(new byte[MAX_DECOMPRESSED_SIZE * 64]);
+
+        mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(bomb))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(output)) {
+            gzipStream.write(data);
+        }
+        return output.toByteArray();
+    }
+
+    @RestController
+    static class EchoController {
+
+        @PostMapping("/graphql")
+        String echo(@RequestHeader(value = HttpHeaders.CONTENT_ENCODING, defaultValue = "none") String contentEncoding,
+                    @RequestBody String body) {
+            return contentEncoding + ":" + body;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.enterprise.customer360.customer.resolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.enterprise.customer360.customer.config.GraphQLConfig;
+import com.enterprise.customer360.customer.model.CustomerSegment;
+import com.enterprise.customer360.customer.model.CustomerStatus;
+import com.enterprise.customer360.customer.model.SegmentAggregate;
+import com.enterprise.customer360.customer.model.StatusAggregate;
+import com.enterprise.customer360.customer.service.AggregatesNotReadyException;
+import com.enterprise.customer360.customer.service.CustomerService;
+
+@GraphQlTest(CustomerQueryResolver.class)
+@Import(GraphQLConfig.class)
+class CustomerQueryResolverTests {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private CustomerService customerService;
+
+    @Test
+    void segmentAggregates() {
+        when(customerService.getSegmentAggregates()).thenReturn(List.of(
+                SegmentAggregate.builder()
+                        .segment(CustomerSegment.GOLD)
+                        .customerCount(2)
+                        .totalLifetimeValue(150.5)
+                        .averageRiskScore(50.0)
+                        .build()));
+
+        graphQlTester.document("""
+                        { segmentAggregates { segment customerCount totalLifetimeValue averageRiskScore } }
+                        """)
+                .execute()
+                .path("segmentAggregates[0].segment").entity(String.class).isEqualTo("GOLD")
+                .path("segmentAggregates[0].customerCount").entity(Integer.class).isEqualTo(2)
+                .path("segmentAggregates[0].totalLifetimeValue").entity(Double.class).isEqualTo(150.5)
+                .path("segmentAggregates[0].averageRiskScore").entity(Double.class).isEqualTo(50.0);
+    }
+
+    @Test
+    void statusAggregate() {
+        when(customerService.getStatusAggregate(CustomerStatus.VIP)).thenReturn(
+                StatusAggregate.builder()
+                        .status(CustomerStatus.VIP)
+                        .customerCount(1)
+                        .totalLifetimeValue(300.0)
+                        .build());
+
+        graphQlTester.document("""
+                        { statusAggregate(status: VIP) { status customerCount totalLifetimeValue } }
+                        """)
+                .execute()
+                .path("statusAggregate.status").entity(String.class).isEqualTo("VIP")
+                .path("statusAggregate.customerCount").entity(Integer.class).isEqualTo(1)
+                .path("statusAggregate.totalLifetimeValue").entity(Double.class).isEqualTo(300.0);
+    }
+
+    @Test
+    void aggregatesNotReadyIsReportedAsError() {
+        when(customerService.getSegmentAggregate(CustomerSegment.GOLD))
+                .thenThrow(new AggregatesNotReadyException());
+
+        graphQlTester.document("""
+                        { segmentAggregate(segment: GOLD) { customerCount } }
+                        """)
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors)
+                        .singleElement()
+                        .satisfies(error -> assertThat(error.getMessage()).contains("not available yet")));
+    }
+}
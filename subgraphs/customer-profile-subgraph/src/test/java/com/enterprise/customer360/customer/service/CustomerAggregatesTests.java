@@ -0,0 +1,166 @@
+package com.enterprise.customer360.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.enterprise.customer360.customer.model.Customer;
+import com.enterprise.customer360.customer.model.CustomerSegment;
+import com.enterprise.customer360.customer.model.CustomerStatus;
+import com.enterprise.customer360.customer.model.SegmentAggregate;
+import com.enterprise.customer360.customer.model.StatusAggregate;
+
+class CustomerAggregatesTests {
+
+    @Test
+    void rebuildComputesTotals() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.rebuild(List.of(
+                customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40),
+                customer("CUST002", CustomerSegment.GOLD, CustomerStatus.VIP, 50.0, 60),
+                customer("CUST003", CustomerSegment.SILVER, CustomerStatus.ACTIVE, 25.0, null)));
+
+        SegmentAggregate gold = aggregates.getSegmentAggregate(CustomerSegment.GOLD);
+        assertThat(aggregates.isLoaded()).isTrue();
+        assertThat(gold.getCustomerCount()).isEqualTo(2);
+        assertThat(gold.getTotalLifetimeValue()).isEqualTo(150.0);
+        assertThat(gold.getAverageRiskScore()).isEqualTo(50.0);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.SILVER).getAverageRiskScore()).isNull();
+
+        StatusAggregate active = aggregates.getStatusAggregate(CustomerStatus.ACTIVE);
+        assertThat(active.getCustomerCount()).isEqualTo(2);
+        assertThat(active.getTotalLifetimeValue()).isEqualTo(125.0);
+    }
+
+    @Test
+    void recordAppliesOnlyTheChange() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.rebuild(List.of(
+                customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40)));
+
+        aggregates.record(customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40));
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(1);
+
+        aggregates.record(customer("CUST001", CustomerSegment.PLATINUM, CustomerStatus.VIP, 300.0, 20));
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isZero();
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getTotalLifetimeValue()).isZero();
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.PLATINUM).getTotalLifetimeValue()).isEqualTo(300.0);
+        assertThat(aggregates.getStatusAggregate(CustomerStatus.ACTIVE).getCustomerCount()).isZero();
+        assertThat(aggregates.getStatusAggregate(CustomerStatus.VIP).getCustomerCount()).isEqualTo(1);
+
+        aggregates.record(customer("CUST002", CustomerSegment.PLATINUM, CustomerStatus.ACTIVE, 100.0, 60));
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.PLATINUM).getCustomerCount()).isEqualTo(2);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.PLATINUM).getAverageRiskScore()).isEqualTo(40.0);
+    }
+
+    @Test
+    void olderCopyDoesNotReplaceNewerOne() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.rebuild(List.of());
+
+        // Two concurrent fetches of the same customer completing out of order
+        aggregates.record(customer("CUST001", CustomerSegment.PLATINUM, CustomerStatus.VIP, 300.0, 20,
+                "2025-10-11T00:00:00Z"));
+        aggregates.record(customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40,
+                "2025-10-10T00:00:00Z"));
+
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.PLATINUM).getCustomerCount()).isEqualTo(1);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.PLATINUM).getTotalLifetimeValue()).isEqualTo(300.0);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isZero();
+        assertThat(aggregates.getStatusAggregate(CustomerStatus.VIP).getCustomerCount()).isEqualTo(1);
+        assertThat(aggregates.getStatusAggregate(CustomerStatus.ACTIVE).getCustomerCount()).isZero();
+    }
+
+    @Test
+    void recordsDuringRebuildAreNotRolledBack() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.beginRebuild();
+
+        // Fetched through a query after its page was read by the load
+        aggregates.record(customer("CUST001", CustomerSegment.PLATINUM, CustomerStatus.VIP, 300.0, 20,
+                "2025-10-11T00:00:00Z"));
+        // Fetched before the load read a newer copy
+        aggregates.record(customer("CUST002", CustomerSegment.BRONZE, CustomerStatus.INACTIVE, 10.0, 90,
+                "2025-10-01T00:00:00Z"));
+
+        aggregates.rebuild(List.of(
+                customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40, "2025-10-10T00:00:00Z"),
+                customer("CUST002", CustomerSegment.SILVER, CustomerStatus.ACTIVE, 50.0, 60, "2025-10-10T00:00:00Z")));
+
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.PLATINUM).getCustomerCount()).isEqualTo(1);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isZero();
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.SILVER).getCustomerCount()).isEqualTo(1);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.BRONZE).getCustomerCount()).isZero();
+    }
+
+    @Test
+    void removedCustomerIsNotRestoredByRunningRebuild() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.rebuild(List.of(
+                customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40),
+                customer("CUST002", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 50.0, 60)));
+
+        aggregates.beginRebuild();
+        aggregates.remove("CUST001");
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(1);
+
+        // The page holding CUST001 was read before it was removed
+        aggregates.rebuild(List.of(
+                customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40),
+                customer("CUST002", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 50.0, 60)));
+
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(1);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getTotalLifetimeValue()).isEqualTo(50.0);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getAverageRiskScore()).isEqualTo(60.0);
+    }
+
+    @Test
+    void abortedRebuildKeepsPreviousTotals() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.rebuild(List.of(
+                customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 100.0, 40)));
+
+        aggregates.beginRebuild();
+        aggregates.record(customer("CUST002", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 50.0, 60));
+        aggregates.abortRebuild();
+
+        assertThat(aggregates.isLoaded()).isTrue();
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(2);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getTotalLifetimeValue()).isEqualTo(150.0);
+    }
+
+    @Test
+    void repeatedChangesDoNotDrift() {
+        CustomerAggregates aggregates = new CustomerAggregates();
+        aggregates.rebuild(List.of());
+
+        for (int i = 0; i < 1000; i++) {
+            aggregates.record(customer("CUST001", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 0.1 * i, 40));
+            aggregates.record(customer("CUST002", CustomerSegment.GOLD, CustomerStatus.ACTIVE, 0.7 + i, 40));
+        }
+        aggregates.record(customer("CUST001", CustomerSegment.SILVER, CustomerStatus.ACTIVE, 0.1, 40));
+        aggregates.record(customer("CUST002", CustomerSegment.SILVER, CustomerStatus.ACTIVE, 0.2, 40));
+
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.GOLD).getTotalLifetimeValue()).isEqualTo(0.0);
+        assertThat(aggregates.getSegmentAggregate(CustomerSegment.SILVER).getTotalLifetimeValue()).isEqualTo(0.3);
+    }
+
+    private Customer customer(String customerId, CustomerSegment segment, CustomerStatus status,
+                              Double lifetimeValue, Integer riskScore) {
+        return customer(customerId, segment, status, lifetimeValue, riskScore, null);
+    }
+
+    private Customer customer(String customerId, CustomerSegment segment, CustomerStatus status,
+                              Double lifetimeValue, Integer riskScore, String lastUpdated) {
+        return Customer.builder()
+                .customerId(customerId)
+                .segment(segment)
+                .status(status)
+                .lifetimeValue(lifetimeValue)
+                .riskScore(riskScore)
+                .lastUpdated(lastUpdated)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.enterprise.customer360.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import com.enterprise.customer360.customer.dto.CrmCustomerPageResponse;
+import com.enterprise.customer360.customer.dto.CrmCustomerResponse;
+import com.enterprise.customer360.customer.model.CustomerSegment;
+import com.enterprise.customer360.customer.model.CustomerStatus;
+
+class CustomerServiceImplTests {
+
+    private static final int PAGE_SIZE = 2;
+    private static final int MAX_PAGES = 5;
+
+    private CrmApiClient crmApiClient;
+    private CustomerAggregates customerAggregates;
+    private CustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        crmApiClient = mock(CrmApiClient.class);
+        customerAggregates = new CustomerAggregates();
+        customerService = new CustomerServiceImpl(crmApiClient, customerAggregates, PAGE_SIZE, MAX_PAGES);
+    }
+
+    @Test
+    void loadsAllPagesUntilShortPage() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE)).thenReturn(page(null, 1, 2));
+        when(crmApiClient.getCustomersPage(2, PAGE_SIZE)).thenReturn(page(null, 3, 4));
+        when(crmApiClient.getCustomersPage(3, PAGE_SIZE)).thenReturn(page(null, 5));
+
+        assertThat(customerService.loadAggregates()).isTrue();
+
+        verify(crmApiClient, times(3)).getCustomersPage(anyInt(), anyInt());
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(5);
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getTotalLifetimeValue()).isEqualTo(150.0);
+        assertThat(customerService.getStatusAggregate(CustomerStatus.ACTIVE).getCustomerCount()).isEqualTo(5);
+    }
+
+    @Test
+    void stopsWhenTotalIsReached() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE)).thenReturn(page(4, 1, 2));
+        when(crmApiClient.getCustomersPage(2, PAGE_SIZE)).thenReturn(page(4, 3, 4));
+
+        assertThat(customerService.loadAggregates()).isTrue();
+
+        verify(crmApiClient, never()).getCustomersPage(3, PAGE_SIZE);
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(4);
+    }
+
+    @Test
+    void stopsOnEmptyPage() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE)).thenReturn(page(null, 1, 2));
+        when(crmApiClient.getCustomersPage(2, PAGE_SIZE)).thenReturn(page(null));
+
+        assertThat(customerService.loadAggregates()).isTrue();
+
+        verify(crmApiClient, times(2)).getCustomersPage(anyInt(), anyInt());
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failsWhenPageCapIsExceeded() {
+        // CRM ignores the page parameter and never reports a total
+        when(crmApiClient.getCustomersPage(anyInt(), anyInt())).thenReturn(page(null, 1, 2));
+
+        assertThat(customerService.loadAggregates()).isFalse();
+
+        verify(crmApiClient, times(MAX_PAGES)).getCustomersPage(anyInt(), anyInt());
+        assertThat(customerAggregates.isLoaded()).isFalse();
+    }
+
+    @Test
+    void failedLoadIsRetriedAndQueriesErrorUntilThen() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE))
+                .thenThrow(new RuntimeException("Failed to fetch customers from CRM: Connection refused"))
+                .thenReturn(page(null, 1));
+
+        customerService.loadAggregatesIfNeeded();
+        assertThat(customerAggregates.isLoaded()).isFalse();
+        assertThatThrownBy(() -> customerService.getSegmentAggregates())
+                .isInstanceOf(AggregatesNotReadyException.class);
+
+        customerService.loadAggregatesIfNeeded();
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(1);
+
+        // Already loaded: the scheduled retry does not scan again
+        customerService.loadAggregatesIfNeeded();
+        verify(crmApiClient, times(2)).getCustomersPage(anyInt(), anyInt());
+    }
+
+    @Test
+    void queriesBeforeLoadReturnError() {
+        assertThatThrownBy(() -> customerService.getSegmentAggregate(CustomerSegment.GOLD))
+                .isInstanceOf(AggregatesNotReadyException.class);
+        assertThatThrownBy(() -> customerService.getStatusAggregates())
+                .isInstanceOf(AggregatesNotReadyException.class);
+        assertThatThrownBy(() -> customerService.getStatusAggregate(CustomerStatus.ACTIVE))
+                .isInstanceOf(AggregatesNotReadyException.class);
+
+        verify(crmApiClient, never()).getCustomersPage(anyInt(), anyInt());
+    }
+
+    @Test
+    void fetchedCustomersUpdateAggregates() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE)).thenReturn(page(null, 1));
+        customerService.loadAggregates();
+
+        CrmCustomerResponse changed = crmCustomer(1);
+        changed.setSegment("PLATINUM");
+        when(crmApiClient.getCustomerById("CUST001")).thenReturn(changed);
+        customerService.getCustomerById("CUST001");
+
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isZero();
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.PLATINUM).getCustomerCount()).isEqualTo(1);
+    }
+
+    @Test
+    void customerNotFoundInCrmIsRemovedFromAggregates() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE)).thenReturn(page(null, 1, 2));
+        customerService.loadAggregates();
+
+        when(crmApiClient.getCustomerById("CUST001")).thenThrow(
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThat(customerService.getCustomerById("CUST001")).isEmpty();
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(1);
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getTotalLifetimeValue()).isEqualTo(30.0);
+        assertThat(customerService.getStatusAggregate(CustomerStatus.ACTIVE).getCustomerCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedFetchDoesNotRemoveCustomer() {
+        when(crmApiClient.getCustomersPage(1, PAGE_SIZE)).thenReturn(page(null, 1, 2));
+        customerService.loadAggregates();
+
+        when(crmApiClient.getCustomerById("CUST001"))
+                .thenThrow(new RuntimeException("Failed to fetch customer from CRM: Read timed out"));
+        when(crmApiClient.getCustomerById("CUST002")).thenThrow(
+                HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null));
+
+        assertThat(customerService.getCustomerById("CUST001")).isEmpty();
+        assertThat(customerService.getCustomerById("CUST002")).isEmpty();
+        assertThat(customerService.getSegmentAggregate(CustomerSegment.GOLD).getCustomerCount()).isEqualTo(2);
+    }
+
+    private CrmCustomerPageResponse page(Integer total, int... customerNumbers) {
+        List<CrmCustomerResponse> customers = IntStream.of(customerNumbers)
+                .mapToObj(this::crmCustomer)
+                .toList();
+        return CrmCustomerPageResponse.builder()
+                .limit(PAGE_SIZE)
+                .total(total)
+                .customers(customers)
+                .build();
+    }
+
+    private CrmCustomerResponse crmCustomer(int number) {
+        return CrmCustomerResponse.builder()
+                .customerId(String.format("CUST%03d", number))
+                .segment("GOLD")
+                .status("ACTIVE")
+                .lifetimeValue(30.0)
+                .riskScore(50)
+                .build();
+    }
+}